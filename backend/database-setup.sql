@@ -42,6 +42,30 @@ CREATE TABLE IF NOT EXISTS reports (
     INDEX idx_date_reported (date_reported)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Create report rollups table (daily/hourly summaries for trend queries)
+CREATE TABLE IF NOT EXISTS report_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    granularity VARCHAR(10) NOT NULL,
+    bucket VARCHAR(20) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    severity VARCHAR(50) NOT NULL,
+    report_count BIGINT NOT NULL DEFAULT 0,
+    resolved_count BIGINT NOT NULL DEFAULT 0,
+    resolution_seconds BIGINT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_rollup_bucket (granularity, bucket, type, severity),
+    INDEX idx_rollup_range (granularity, bucket)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create report status transitions table
+CREATE TABLE IF NOT EXISTS report_status_transitions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    report_id BIGINT NOT NULL,
+    from_status VARCHAR(50),
+    to_status VARCHAR(50) NOT NULL,
+    changed_at VARCHAR(50) NOT NULL,
+    INDEX idx_transition_report (report_id, changed_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Insert demo users
 INSERT INTO users (name, email, password, role, department, created_at) VALUES
 ('John Citizen', 'john@citizen.com', 'demo123', 'citizen', 'Community Member', '2025-11-09'),
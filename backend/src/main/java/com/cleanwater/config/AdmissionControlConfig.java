@@ -0,0 +1,20 @@
+package com.cleanwater.config;
+
+import com.cleanwater.service.AdmissionControlService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdmissionControlService admissionControlService, AdmissionProperties properties) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(admissionControlService, properties.isEnabled()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(CorsConfig.CORS_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,90 @@
+package com.cleanwater.config;
+
+import com.cleanwater.service.AdmissionControlService;
+import com.cleanwater.service.AdmissionControlService.RequestClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControlService admissionControlService;
+    private final boolean enabled;
+
+    public AdmissionControlFilter(AdmissionControlService admissionControlService, boolean enabled) {
+        this.admissionControlService = admissionControlService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || !path.startsWith("/api/")
+                || path.startsWith("/api/admission");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestClass requestClass = classify(request);
+
+        long retryAfterMillis = admissionControlService.tryAcquireToken(requestClass, clientKey(request));
+        if (retryAfterMillis > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, (retryAfterMillis + 999) / 1000,
+                    "Too many requests, please retry later");
+            return;
+        }
+
+        if (!admissionControlService.tryEnter(requestClass)) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Server is busy, please retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            admissionControlService.exit(requestClass);
+        }
+    }
+
+    RequestClass classify(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return RequestClass.WRITE;
+        }
+        // Endpoints that load whole tables are expensive; lookups by id and rollup queries are cheap
+        String path = request.getRequestURI();
+        if (path.equals("/api/reports")
+                || path.equals("/api/reports/stats")
+                || path.startsWith("/api/reports/status/")
+                || path.startsWith("/api/reports/severity/")
+                || path.startsWith("/api/reports/type/")
+                || path.startsWith("/api/reports/reporter/")
+                || path.equals("/api/users")) {
+            return RequestClass.EXPENSIVE;
+        }
+        return RequestClass.CHEAP;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        // Never read client-supplied headers here. With server.forward-headers-strategy=native,
+        // Tomcat's RemoteIpValve resolves the address from X-Forwarded-For by walking back
+        // from the rightmost hop and stopping at the first non-trusted proxy
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,19 @@
+package com.cleanwater.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private double readRatePerSecond = 20;
+    private int readBurst = 40;
+    private double writeRatePerSecond = 1;
+    private int writeBurst = 10;
+    private int expensiveMaxConcurrency = 8;
+    private int cheapMaxConcurrency = 100;
+    private int poolWaitingThreadsThreshold = 2; // Threads queued for a DB connection before the expensive limit halves
+    private int maxClients = 100000;
+}
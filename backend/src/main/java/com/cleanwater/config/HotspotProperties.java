@@ -0,0 +1,21 @@
+package com.cleanwater.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "app.hotspots")
+public class HotspotProperties {
+
+    private Set<String> types = Set.of("Quality", "Safety");
+    private double cellSizeDegrees = 0.01;
+    private long slotSeconds = 300;
+    private int slots = 12;
+    private double baselineHalfLifeHours = 24;
+    private double threshold = 3.0;
+    private int minCount = 5;
+    private int maxCells = 10000;
+    private int maxEvents = 200;
+}
@@ -0,0 +1,22 @@
+package com.cleanwater.controller;
+
+import com.cleanwater.service.AdmissionControlService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admission")
+@CrossOrigin(origins = "*")
+public class AdmissionController {
+
+    @Autowired
+    private AdmissionControlService admissionControlService;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        return ResponseEntity.ok(admissionControlService.getMetrics());
+    }
+}
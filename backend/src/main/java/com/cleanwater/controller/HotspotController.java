@@ -0,0 +1,28 @@
+package com.cleanwater.controller;
+
+import com.cleanwater.dto.HotspotEvent;
+import com.cleanwater.service.HotspotDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hotspots")
+@CrossOrigin(origins = "*")
+public class HotspotController {
+
+    @Autowired
+    private HotspotDetector hotspotDetector;
+
+    @GetMapping
+    public ResponseEntity<List<HotspotEvent>> getRecentEvents(@RequestParam(required = false) String type) {
+        return ResponseEntity.ok(hotspotDetector.getRecentEvents(type));
+    }
+
+    @GetMapping("/active")
+    public ResponseEntity<List<HotspotEvent>> getActiveHotspots() {
+        return ResponseEntity.ok(hotspotDetector.getActiveHotspots());
+    }
+}
@@ -0,0 +1,59 @@
+package com.cleanwater.controller;
+
+import com.cleanwater.model.ReportStatusTransition;
+import com.cleanwater.service.ReportRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reports/trends")
+@CrossOrigin(origins = "*")
+public class TrendController {
+
+    @Autowired
+    private ReportRollupService reportRollupService;
+
+    @GetMapping
+    public ResponseEntity<?> getReportTrend(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String severity) {
+        try {
+            return ResponseEntity.ok(reportRollupService.getReportTrend(granularity, from, to, type, severity));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    @GetMapping("/resolution")
+    public ResponseEntity<?> getResolutionTrend(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) String type) {
+        try {
+            return ResponseEntity.ok(reportRollupService.getResolutionTrend(granularity, from, to, type));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    @GetMapping("/transitions/{reportId}")
+    public ResponseEntity<List<ReportStatusTransition>> getTransitions(@PathVariable Long reportId) {
+        return ResponseEntity.ok(reportRollupService.getTransitions(reportId));
+    }
+
+    private ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.cleanwater.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotspotEvent {
+    private String cell;
+    private String type;
+    private Double latitude;
+    private Double longitude;
+    private String location;
+    private int windowCount;
+    private double baseline;
+    private String detectedAt;
+}
@@ -0,0 +1,43 @@
+package com.cleanwater.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "report_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_rollup_bucket",
+                columnNames = {"granularity", "bucket", "type", "severity"}),
+        indexes = @Index(name = "idx_rollup_range", columnList = "granularity, bucket"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String granularity; // day, hour
+
+    @Column(nullable = false, length = 20)
+    private String bucket; // yyyy-MM-dd or yyyy-MM-dd'T'HH
+
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private String severity;
+
+    @Column(name = "report_count", nullable = false)
+    private Long reportCount = 0L;
+
+    @Column(name = "resolved_count", nullable = false)
+    private Long resolvedCount = 0L;
+
+    @Column(name = "resolution_seconds", nullable = false)
+    private Long resolutionSeconds = 0L; // Sum of Pending Review -> Resolved durations
+}
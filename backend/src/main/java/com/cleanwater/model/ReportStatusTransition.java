@@ -0,0 +1,31 @@
+package com.cleanwater.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "report_status_transitions",
+        indexes = @Index(name = "idx_transition_report", columnList = "report_id, changed_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportStatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    @Column(name = "from_status")
+    private String fromStatus; // null for the initial status on creation
+
+    @Column(name = "to_status", nullable = false)
+    private String toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private String changedAt; // ISO local date-time
+}
@@ -1,10 +1,15 @@
 package com.cleanwater.repository;
 
 import com.cleanwater.model.Report;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
@@ -13,4 +18,13 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     List<Report> findBySeverity(String severity);
     List<Report> findByType(String type);
     List<Report> findByOrderByLastUpdatedDesc();
+
+    // Serialises concurrent writers of the same report so rollup deltas see a consistent before/after
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Report r WHERE r.id = :id")
+    Optional<Report> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT r.dateReported, r.type, r.severity, COUNT(r) FROM Report r " +
+           "WHERE r.dateReported IS NOT NULL GROUP BY r.dateReported, r.type, r.severity")
+    List<Object[]> countByDayTypeAndSeverity();
 }
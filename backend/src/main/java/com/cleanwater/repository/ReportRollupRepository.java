@@ -0,0 +1,78 @@
+package com.cleanwater.repository;
+
+import com.cleanwater.model.ReportRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ReportRollupRepository extends JpaRepository<ReportRollup, Long> {
+    @Query("SELECT r.bucket, r.type, SUM(r.reportCount) FROM ReportRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucket BETWEEN :from AND :to AND r.reportCount > 0 " +
+           "AND (:type IS NULL OR r.type = :type) AND (:severity IS NULL OR r.severity = :severity) " +
+           "GROUP BY r.bucket, r.type ORDER BY r.bucket")
+    List<Object[]> sumReportsByType(@Param("granularity") String granularity,
+                                    @Param("from") String from,
+                                    @Param("to") String to,
+                                    @Param("type") String type,
+                                    @Param("severity") String severity);
+
+    @Query("SELECT r.bucket, r.severity, SUM(r.reportCount) FROM ReportRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucket BETWEEN :from AND :to AND r.reportCount > 0 " +
+           "AND (:type IS NULL OR r.type = :type) AND (:severity IS NULL OR r.severity = :severity) " +
+           "GROUP BY r.bucket, r.severity ORDER BY r.bucket")
+    List<Object[]> sumReportsBySeverity(@Param("granularity") String granularity,
+                                        @Param("from") String from,
+                                        @Param("to") String to,
+                                        @Param("type") String type,
+                                        @Param("severity") String severity);
+
+    @Query("SELECT r.bucket, SUM(r.resolvedCount), SUM(r.resolutionSeconds) FROM ReportRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucket BETWEEN :from AND :to AND r.resolvedCount > 0 " +
+           "AND (:type IS NULL OR r.type = :type) " +
+           "GROUP BY r.bucket ORDER BY r.bucket")
+    List<Object[]> sumResolutions(@Param("granularity") String granularity,
+                                  @Param("from") String from,
+                                  @Param("to") String to,
+                                  @Param("type") String type);
+
+    @Query("SELECT DISTINCT r.bucket FROM ReportRollup r WHERE r.granularity = :granularity AND r.reportCount > 0")
+    List<String> findBuckets(@Param("granularity") String granularity);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO report_rollups " +
+                   "(granularity, bucket, type, severity, report_count, resolved_count, resolution_seconds) " +
+                   "VALUES (:granularity, :bucket, :type, :severity, :reports, :resolved, :seconds) " +
+                   "ON DUPLICATE KEY UPDATE report_count = report_count + :reports, " +
+                   "resolved_count = resolved_count + :resolved, " +
+                   "resolution_seconds = resolution_seconds + :seconds",
+           nativeQuery = true)
+    void upsert(@Param("granularity") String granularity,
+                @Param("bucket") String bucket,
+                @Param("type") String type,
+                @Param("severity") String severity,
+                @Param("reports") long reports,
+                @Param("resolved") long resolved,
+                @Param("seconds") long seconds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportRollup r SET r.reportCount = r.reportCount + :reports, " +
+           "r.resolvedCount = r.resolvedCount + :resolved, " +
+           "r.resolutionSeconds = r.resolutionSeconds + :seconds " +
+           "WHERE r.granularity = :granularity AND r.bucket = :bucket " +
+           "AND r.type = :type AND r.severity = :severity")
+    int adjust(@Param("granularity") String granularity,
+               @Param("bucket") String bucket,
+               @Param("type") String type,
+               @Param("severity") String severity,
+               @Param("reports") long reports,
+               @Param("resolved") long resolved,
+               @Param("seconds") long seconds);
+}
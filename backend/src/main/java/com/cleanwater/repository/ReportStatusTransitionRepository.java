@@ -0,0 +1,14 @@
+package com.cleanwater.repository;
+
+import com.cleanwater.model.ReportStatusTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReportStatusTransitionRepository extends JpaRepository<ReportStatusTransition, Long> {
+    // Ordered by id: changed_at only has second precision
+    List<ReportStatusTransition> findByReportIdOrderByIdAsc(Long reportId);
+    void deleteByReportId(Long reportId);
+}
@@ -0,0 +1,211 @@
+package com.cleanwater.service;
+
+import com.cleanwater.config.AdmissionProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client rate limiting and per-class concurrency limits for the API.
+ *
+ * Rate limits use one lock-free token bucket per client and request class,
+ * stored as a single theoretical-arrival-time (GCRA). The expensive class
+ * has an adaptive concurrency limit that is halved while more than the
+ * configured number of threads are queued for a database connection, and
+ * grows back by one per check once the queue drains.
+ */
+@Service
+public class AdmissionControlService {
+
+    public enum RequestClass { EXPENSIVE, CHEAP, WRITE }
+
+    private static final long TABLE_FULL_RETRY_MILLIS = 1000;
+
+    private final double readRatePerSecond;
+    private final int readBurst;
+    private final double writeRatePerSecond;
+    private final int writeBurst;
+    private final int expensiveMaxConcurrency;
+    private final int cheapMaxConcurrency;
+    private final int poolWaitingThreadsThreshold;
+    private final int maxClients;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<RequestClass, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<RequestClass, LongAdder> admitted = new ConcurrentHashMap<>();
+    private final Map<RequestClass, LongAdder> rateLimited = new ConcurrentHashMap<>();
+    private final Map<RequestClass, LongAdder> overloaded = new ConcurrentHashMap<>();
+    private final AtomicInteger expensiveLimit = new AtomicInteger(-1);
+    private final AtomicLong lastEvictionNanos;
+    private final DataSource dataSource;
+    private final LongSupplier nanoClock;
+    IntSupplier threadsAwaitingConnection = this::poolThreadsAwaitingConnection;
+
+    @Autowired
+    public AdmissionControlService(AdmissionProperties properties, DataSource dataSource) {
+        this(properties, dataSource, System::nanoTime);
+    }
+
+    AdmissionControlService(AdmissionProperties properties, DataSource dataSource, LongSupplier nanoClock) {
+        this.readRatePerSecond = properties.getReadRatePerSecond();
+        this.readBurst = properties.getReadBurst();
+        this.writeRatePerSecond = properties.getWriteRatePerSecond();
+        this.writeBurst = properties.getWriteBurst();
+        this.expensiveMaxConcurrency = properties.getExpensiveMaxConcurrency();
+        this.cheapMaxConcurrency = properties.getCheapMaxConcurrency();
+        this.poolWaitingThreadsThreshold = properties.getPoolWaitingThreadsThreshold();
+        this.maxClients = properties.getMaxClients();
+        this.dataSource = dataSource;
+        this.nanoClock = nanoClock;
+        this.lastEvictionNanos = new AtomicLong(nanoClock.getAsLong());
+        for (RequestClass requestClass : RequestClass.values()) {
+            inFlight.put(requestClass, new AtomicInteger());
+            admitted.put(requestClass, new LongAdder());
+            rateLimited.put(requestClass, new LongAdder());
+            overloaded.put(requestClass, new LongAdder());
+        }
+    }
+
+    /**
+     * Takes a token for the client. Returns 0 if the request may proceed,
+     * otherwise the number of milliseconds until a token is available.
+     */
+    public long tryAcquireToken(RequestClass requestClass, String client) {
+        boolean write = requestClass == RequestClass.WRITE;
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / (write ? writeRatePerSecond : readRatePerSecond));
+        long tolerance = interval * ((write ? writeBurst : readBurst) - 1);
+
+        AtomicLong bucket = bucketFor((write ? "w|" : "r|") + client);
+        if (bucket == null) {
+            rateLimited.get(requestClass).increment();
+            return TABLE_FULL_RETRY_MILLIS;
+        }
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long tat = bucket.get();
+            if (now < tat - tolerance) {
+                rateLimited.get(requestClass).increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(tat - tolerance - now));
+            }
+            if (bucket.compareAndSet(tat, Math.max(tat, now) + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean tryEnter(RequestClass requestClass) {
+        AtomicInteger counter = inFlight.get(requestClass);
+        int limit = limitFor(requestClass);
+        while (true) {
+            int current = counter.get();
+            if (current >= limit) {
+                overloaded.get(requestClass).increment();
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                admitted.get(requestClass).increment();
+                return true;
+            }
+        }
+    }
+
+    public void exit(RequestClass requestClass) {
+        inFlight.get(requestClass).decrementAndGet();
+    }
+
+    @Scheduled(fixedRate = 500)
+    public void adjustExpensiveLimit() {
+        int waiting = threadsAwaitingConnection.getAsInt();
+        int limit = limitFor(RequestClass.EXPENSIVE);
+        if (waiting > poolWaitingThreadsThreshold) {
+            expensiveLimit.set(Math.max(1, limit / 2));
+        } else if (limit < expensiveMaxConcurrency) {
+            expensiveLimit.set(limit + 1);
+        }
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void evictFullBuckets() {
+        // A bucket whose arrival time has passed is full again and can be recreated on demand
+        long now = nanoClock.getAsLong();
+        lastEvictionNanos.set(now);
+        buckets.values().removeIf(bucket -> bucket.get() - now < 0);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (RequestClass requestClass : RequestClass.values()) {
+            Map<String, Object> classMetrics = new LinkedHashMap<>();
+            classMetrics.put("inFlight", inFlight.get(requestClass).get());
+            classMetrics.put("concurrencyLimit", limitFor(requestClass));
+            classMetrics.put("admitted", admitted.get(requestClass).sum());
+            classMetrics.put("rateLimited", rateLimited.get(requestClass).sum());
+            classMetrics.put("overloaded", overloaded.get(requestClass).sum());
+            metrics.put(requestClass.name().toLowerCase(), classMetrics);
+        }
+        HikariPoolMXBean pool = poolBean();
+        if (pool != null) {
+            metrics.put("dbActiveConnections", pool.getActiveConnections());
+            metrics.put("dbThreadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+        }
+        metrics.put("trackedClients", buckets.size());
+        return metrics;
+    }
+
+    /**
+     * Returns the client's bucket, or null if the table is full of clients that
+     * are still rate limited. New clients are then rejected until buckets free
+     * up, rather than sharing one bucket with every other newcomer.
+     */
+    private AtomicLong bucketFor(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            // Evict at most once per second so a flood of new clients cannot trigger a scan per request
+            long last = lastEvictionNanos.get();
+            if (nanoClock.getAsLong() - last > TimeUnit.SECONDS.toNanos(1)
+                    && lastEvictionNanos.compareAndSet(last, nanoClock.getAsLong())) {
+                evictFullBuckets();
+            }
+            if (buckets.size() >= maxClients) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(nanoClock.getAsLong()));
+    }
+
+    private int limitFor(RequestClass requestClass) {
+        if (requestClass != RequestClass.EXPENSIVE) {
+            return cheapMaxConcurrency;
+        }
+        int limit = expensiveLimit.get();
+        return limit < 0 ? expensiveMaxConcurrency : limit;
+    }
+
+    private int poolThreadsAwaitingConnection() {
+        HikariPoolMXBean pool = poolBean();
+        return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+    }
+
+    private HikariPoolMXBean poolBean() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getHikariPoolMXBean();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,216 @@
+package com.cleanwater.service;
+
+import com.cleanwater.config.HotspotProperties;
+import com.cleanwater.dto.HotspotEvent;
+import com.cleanwater.model.Report;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Detects bursts of reports per geo cell and type from the incoming report
+ * stream. Each cell keeps a ring of per-slot counts covering the sliding
+ * window and an exponentially decayed per-slot baseline; a cell becomes a
+ * hotspot when its window count exceeds the baseline by the configured factor.
+ * Memory is bounded by the number of tracked cells and published events.
+ */
+@Service
+public class HotspotDetector {
+
+    private final Set<String> types;
+    private final double cellSizeDegrees;
+    private final long slotSeconds;
+    private final int slotCount;
+    private final double threshold;
+    private final int minCount;
+    private final int maxCells;
+    private final int maxEvents;
+    private final double alpha;
+
+    final Map<String, CellWindow> cells = new ConcurrentHashMap<>();
+    private final Deque<HotspotEvent> events = new ArrayDeque<>();
+    private volatile long lastEvictionSlot = -1;
+    LongSupplier clock = System::currentTimeMillis;
+
+    public HotspotDetector(HotspotProperties properties) {
+        types = properties.getTypes();
+        cellSizeDegrees = properties.getCellSizeDegrees();
+        slotSeconds = properties.getSlotSeconds();
+        slotCount = properties.getSlots();
+        threshold = properties.getThreshold();
+        minCount = properties.getMinCount();
+        maxCells = properties.getMaxCells();
+        maxEvents = properties.getMaxEvents();
+        // Per-slot EWMA weight that halves an old observation every half-life
+        alpha = 1 - Math.pow(0.5, slotSeconds / (properties.getBaselineHalfLifeHours() * 3600));
+    }
+
+    public void record(Report report) {
+        if (report.getType() == null || !types.contains(report.getType())) {
+            return;
+        }
+        String cellId = cellId(report);
+        if (cellId == null) {
+            return;
+        }
+        String key = report.getType() + "|" + cellId;
+        if (cells.size() >= maxCells && !cells.containsKey(key) && lastEvictionSlot != currentSlot()) {
+            // Full table scans are limited to one per slot; until then new cells are dropped
+            evictIdleCells();
+        }
+
+        // Lookup and increment happen atomically with eviction of the same key
+        HotspotEvent[] event = new HotspotEvent[1];
+        cells.compute(key, (k, cell) -> {
+            if (cell == null) {
+                if (cells.size() >= maxCells) {
+                    return null;
+                }
+                cell = newCell(cellId, report);
+            }
+            synchronized (cell) {
+                cell.advance(currentSlot(), alpha);
+                cell.slots[(int) (cell.currentSlot % slotCount)]++;
+                cell.windowSum++;
+                cell.location = report.getLocation();
+
+                boolean hot = isHot(cell);
+                event[0] = hot && !cell.hot ? toEvent(cell) : null;
+                cell.hot = hot;
+            }
+            return cell;
+        });
+        if (event[0] != null) {
+            synchronized (events) {
+                events.addFirst(event[0]);
+                while (events.size() > maxEvents) {
+                    events.removeLast();
+                }
+            }
+        }
+    }
+
+    public List<HotspotEvent> getRecentEvents(String type) {
+        synchronized (events) {
+            return events.stream()
+                    .filter(e -> type == null || type.equals(e.getType()))
+                    .toList();
+        }
+    }
+
+    public List<HotspotEvent> getActiveHotspots() {
+        long slot = currentSlot();
+        List<HotspotEvent> active = new ArrayList<>();
+        for (CellWindow cell : cells.values()) {
+            synchronized (cell) {
+                // The hot flag is only moved by record() so every transition publishes its event
+                cell.advance(slot, alpha);
+                if (isHot(cell)) {
+                    active.add(toEvent(cell));
+                }
+            }
+        }
+        active.sort(Comparator.comparingInt(HotspotEvent::getWindowCount).reversed());
+        return active;
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void evictIdleCells() {
+        long slot = currentSlot();
+        lastEvictionSlot = slot;
+        for (String key : cells.keySet()) {
+            cells.computeIfPresent(key, (k, cell) -> {
+                synchronized (cell) {
+                    cell.advance(slot, alpha);
+                    return cell.windowSum == 0 && cell.baseline < 0.01 ? null : cell;
+                }
+            });
+        }
+    }
+
+    private boolean isHot(CellWindow cell) {
+        double expected = Math.max(cell.baseline * slotCount, 1.0);
+        return cell.windowSum >= minCount && cell.windowSum >= threshold * expected;
+    }
+
+    private String cellId(Report report) {
+        if (report.getLatitude() != null && report.getLongitude() != null) {
+            long row = (long) Math.floor(report.getLatitude() / cellSizeDegrees);
+            long col = (long) Math.floor(report.getLongitude() / cellSizeDegrees);
+            return row + ":" + col;
+        }
+        // Reports without coordinates are grouped by their location text
+        if (report.getLocation() != null && !report.getLocation().isBlank()) {
+            return "loc:" + report.getLocation().trim().toLowerCase();
+        }
+        return null;
+    }
+
+    private CellWindow newCell(String cellId, Report report) {
+        CellWindow cell = new CellWindow(slotCount, currentSlot());
+        cell.cellId = cellId;
+        cell.type = report.getType();
+        if (report.getLatitude() != null && report.getLongitude() != null) {
+            cell.latitude = (Math.floor(report.getLatitude() / cellSizeDegrees) + 0.5) * cellSizeDegrees;
+            cell.longitude = (Math.floor(report.getLongitude() / cellSizeDegrees) + 0.5) * cellSizeDegrees;
+        }
+        return cell;
+    }
+
+    private HotspotEvent toEvent(CellWindow cell) {
+        return new HotspotEvent(
+                cell.cellId,
+                cell.type,
+                cell.latitude,
+                cell.longitude,
+                cell.location,
+                cell.windowSum,
+                Math.round(cell.baseline * slotCount * 100) / 100.0,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString()
+        );
+    }
+
+    private long currentSlot() {
+        return clock.getAsLong() / 1000 / slotSeconds;
+    }
+
+    static final class CellWindow {
+        final int[] slots;
+        long currentSlot;
+        int windowSum;
+        double baseline; // Decayed mean reports per slot
+        boolean hot;
+        String cellId;
+        String type;
+        Double latitude;
+        Double longitude;
+        String location;
+
+        CellWindow(int slotCount, long currentSlot) {
+            this.slots = new int[slotCount];
+            this.currentSlot = currentSlot;
+        }
+
+        void advance(long slot, double alpha) {
+            long steps = slot - currentSlot;
+            if (steps <= 0) {
+                return;
+            }
+            // The slot being closed feeds the baseline; every later elapsed slot was empty
+            baseline += alpha * (slots[(int) (currentSlot % slots.length)] - baseline);
+            baseline *= Math.pow(1 - alpha, steps - 1);
+
+            for (long i = 1; i <= Math.min(steps, slots.length); i++) {
+                int index = (int) ((currentSlot + i) % slots.length);
+                windowSum -= slots[index];
+                slots[index] = 0;
+            }
+            currentSlot = slot;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.cleanwater.service;
+
+import com.cleanwater.model.Report;
+import com.cleanwater.model.ReportRollup;
+import com.cleanwater.model.ReportStatusTransition;
+import com.cleanwater.repository.ReportRepository;
+import com.cleanwater.repository.ReportRollupRepository;
+import com.cleanwater.repository.ReportStatusTransitionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Maintains the daily/hourly report rollups and the status transition history
+ * so trend queries never have to scan the reports table.
+ */
+@Service
+public class ReportRollupService {
+
+    public static final String DAY = "day";
+    public static final String HOUR = "hour";
+    public static final String RESOLVED = "Resolved";
+
+    static final int MAX_HOUR_RANGE_DAYS = 31;
+
+    private static final DateTimeFormatter HOUR_BUCKET = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    @Autowired
+    private ReportRollupRepository rollupRepository;
+
+    @Autowired
+    private ReportStatusTransitionRepository transitionRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    public void recordCreated(Report report) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        String day = report.getDateReported() != null ? report.getDateReported() : now.toLocalDate().toString();
+
+        add(DAY, day, report.getType(), report.getSeverity(), 1, 0, 0);
+        add(HOUR, now.format(HOUR_BUCKET), report.getType(), report.getSeverity(), 1, 0, 0);
+        saveTransition(report.getId(), null, report.getStatus(), now);
+    }
+
+    /**
+     * Moves the report's contribution to its new (type, severity) rollups if
+     * either changed, then records the status change. Only the first move into
+     * Resolved counts towards resolution time.
+     */
+    public void recordUpdated(Report report, String previousType, String previousSeverity, String previousStatus) {
+        List<ReportStatusTransition> history = transitionRepository.findByReportIdOrderByIdAsc(report.getId());
+
+        if (!Objects.equals(previousType, report.getType())
+                || !Objects.equals(previousSeverity, report.getSeverity())) {
+            bookReport(report, history, previousType, previousSeverity, -1);
+            bookReport(report, history, report.getType(), report.getSeverity(), 1);
+        }
+
+        if (Objects.equals(previousStatus, report.getStatus())) {
+            return;
+        }
+        boolean resolvedBefore = firstResolution(history) >= 0;
+        List<ReportStatusTransition> updatedHistory = new ArrayList<>(history);
+        updatedHistory.add(saveTransition(report.getId(), previousStatus, report.getStatus(), LocalDateTime.now(clock)));
+
+        if (RESOLVED.equals(report.getStatus()) && !resolvedBefore) {
+            bookResolution(report, updatedHistory, report.getType(), report.getSeverity(), 1);
+        }
+    }
+
+    public void recordDeleted(Report report) {
+        List<ReportStatusTransition> history = transitionRepository.findByReportIdOrderByIdAsc(report.getId());
+        bookReport(report, history, report.getType(), report.getSeverity(), -1);
+        transitionRepository.deleteByReportId(report.getId());
+    }
+
+    public List<ReportStatusTransition> getTransitions(Long reportId) {
+        return transitionRepository.findByReportIdOrderByIdAsc(reportId);
+    }
+
+    /**
+     * Returns one entry per bucket in [from, to] with report counts broken
+     * down by type and severity. Buckets without reports are omitted.
+     */
+    public List<Map<String, Object>> getReportTrend(String granularity, String from, String to,
+                                                    String type, String severity) {
+        String upper = upperBound(granularity, from, to);
+        Map<String, Map<String, Object>> points = new LinkedHashMap<>();
+        for (Object[] row : rollupRepository.sumReportsByType(granularity, from, upper, type, severity)) {
+            Map<String, Object> point = points.computeIfAbsent((String) row[0], this::newTrendPoint);
+            point.put("total", (Long) point.get("total") + (Long) row[2]);
+            addTo(point, "byType", (String) row[1], (Long) row[2]);
+        }
+        for (Object[] row : rollupRepository.sumReportsBySeverity(granularity, from, upper, type, severity)) {
+            Map<String, Object> point = points.computeIfAbsent((String) row[0], this::newTrendPoint);
+            addTo(point, "bySeverity", (String) row[1], (Long) row[2]);
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    /**
+     * Returns the mean time from first status to first Resolved, per bucket of the
+     * resolution time and over the whole range.
+     */
+    public Map<String, Object> getResolutionTrend(String granularity, String from, String to, String type) {
+        String upper = upperBound(granularity, from, to);
+        List<Map<String, Object>> points = new ArrayList<>();
+        long resolved = 0;
+        long seconds = 0;
+        for (Object[] row : rollupRepository.sumResolutions(granularity, from, upper, type)) {
+            long bucketResolved = (Long) row[1];
+            long bucketSeconds = (Long) row[2];
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucket", row[0]);
+            point.put("resolved", bucketResolved);
+            point.put("meanHoursToResolve", meanHours(bucketSeconds, bucketResolved));
+            points.add(point);
+            resolved += bucketResolved;
+            seconds += bucketSeconds;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("resolved", resolved);
+        result.put("meanHoursToResolve", meanHours(seconds, resolved));
+        result.put("points", points);
+        return result;
+    }
+
+    /**
+     * Fills daily rollups for days that have reports but no rollup rows, e.g.
+     * data loaded before rollups existed or rows inserted outside the service.
+     * Days already maintained incrementally are left untouched.
+     */
+    @Scheduled(cron = "${app.rollups.backfill-cron:0 15 2 * * *}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDailyRollups() {
+        Set<String> existing = new HashSet<>(rollupRepository.findBuckets(DAY));
+        List<ReportRollup> missing = new ArrayList<>();
+        for (Object[] row : reportRepository.countByDayTypeAndSeverity()) {
+            String day = (String) row[0];
+            if (existing.contains(day)) {
+                continue;
+            }
+            ReportRollup rollup = new ReportRollup();
+            rollup.setGranularity(DAY);
+            rollup.setBucket(day);
+            rollup.setType((String) row[1]);
+            rollup.setSeverity((String) row[2]);
+            rollup.setReportCount((Long) row[3]);
+            missing.add(rollup);
+        }
+        if (!missing.isEmpty()) {
+            rollupRepository.saveAll(missing);
+            System.out.println("Backfilled " + missing.size() + " daily report rollups");
+        }
+    }
+
+    /**
+     * Validates the range and returns the inclusive upper bucket for it. Hourly
+     * ranges are limited to {@value #MAX_HOUR_RANGE_DAYS} days so a single trend
+     * query stays bounded.
+     */
+    private String upperBound(String granularity, String from, String to) {
+        if (!DAY.equals(granularity) && !HOUR.equals(granularity)) {
+            throw new IllegalArgumentException("Granularity must be 'day' or 'hour'");
+        }
+        LocalDateTime start = parseBound(granularity, "from", from);
+        parseBound(granularity, "to", to);
+        // Buckets are ISO strings, so lexical range matches chronological range.
+        // Hour buckets within the "to" day sort after the bare date, hence the suffix.
+        String upper = HOUR.equals(granularity) && to.length() == 10 ? to + "T23" : to;
+        if (from.compareTo(upper) > 0) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (HOUR.equals(granularity)
+                && LocalDateTime.parse(upper, HOUR_BUCKET).isAfter(start.plusDays(MAX_HOUR_RANGE_DAYS))) {
+            throw new IllegalArgumentException("Hourly ranges are limited to " + MAX_HOUR_RANGE_DAYS + " days");
+        }
+        return upper;
+    }
+
+    private LocalDateTime parseBound(String granularity, String name, String value) {
+        try {
+            if (DAY.equals(granularity) || value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay();
+            }
+            return LocalDateTime.parse(value, HOUR_BUCKET);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("'" + name + "' must be yyyy-MM-dd"
+                    + (HOUR.equals(granularity) ? " or yyyy-MM-ddTHH" : ""));
+        }
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) everything the report contributes to
+     * the rollups of the given type and severity.
+     */
+    private void bookReport(Report report, List<ReportStatusTransition> history,
+                            String type, String severity, int sign) {
+        if (report.getDateReported() != null) {
+            add(DAY, report.getDateReported(), type, severity, sign, 0, 0);
+        }
+        // The hourly bucket is only known if the creation transition was recorded
+        if (!history.isEmpty() && history.get(0).getFromStatus() == null) {
+            String hour = LocalDateTime.parse(history.get(0).getChangedAt()).format(HOUR_BUCKET);
+            add(HOUR, hour, type, severity, sign, 0, 0);
+        }
+        bookResolution(report, history, type, severity, sign);
+    }
+
+    private void bookResolution(Report report, List<ReportStatusTransition> history,
+                                String type, String severity, int sign) {
+        int index = firstResolution(history);
+        if (index < 0) {
+            return;
+        }
+        LocalDateTime resolvedAt = LocalDateTime.parse(history.get(index).getChangedAt());
+        long seconds = Math.max(0, Duration.between(openedAt(report, history, resolvedAt), resolvedAt).getSeconds());
+        add(DAY, resolvedAt.toLocalDate().toString(), type, severity, 0, sign, sign * seconds);
+        add(HOUR, resolvedAt.format(HOUR_BUCKET), type, severity, 0, sign, sign * seconds);
+    }
+
+    /**
+     * Index of the first status change into Resolved, or -1. Reports created
+     * as Resolved never went through review, so the creation entry is ignored.
+     */
+    private int firstResolution(List<ReportStatusTransition> history) {
+        for (int i = 0; i < history.size(); i++) {
+            ReportStatusTransition transition = history.get(i);
+            if (transition.getFromStatus() != null && RESOLVED.equals(transition.getToStatus())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private LocalDateTime openedAt(Report report, List<ReportStatusTransition> history, LocalDateTime resolvedAt) {
+        if (history.get(0).getFromStatus() == null) {
+            return LocalDateTime.parse(history.get(0).getChangedAt());
+        }
+        // Reports created before the history existed have no creation entry and
+        // start at the beginning of their report day
+        try {
+            return LocalDate.parse(report.getDateReported()).atStartOfDay();
+        } catch (DateTimeParseException | NullPointerException e) {
+            return resolvedAt;
+        }
+    }
+
+    private void add(String granularity, String bucket, String type, String severity,
+                     long reports, long resolved, long seconds) {
+        if (reports < 0 || resolved < 0) {
+            // Removals only touch existing rows so a missing row never goes negative
+            rollupRepository.adjust(granularity, bucket, type, severity, reports, resolved, seconds);
+        } else {
+            rollupRepository.upsert(granularity, bucket, type, severity, reports, resolved, seconds);
+        }
+    }
+
+    private ReportStatusTransition saveTransition(Long reportId, String fromStatus, String toStatus, LocalDateTime at) {
+        ReportStatusTransition transition = new ReportStatusTransition();
+        transition.setReportId(reportId);
+        transition.setFromStatus(fromStatus);
+        transition.setToStatus(toStatus);
+        transition.setChangedAt(at.truncatedTo(ChronoUnit.SECONDS).toString());
+        return transitionRepository.save(transition);
+    }
+
+    private Map<String, Object> newTrendPoint(String bucket) {
+        Map<String, Object> point = new LinkedHashMap<>();
+        point.put("bucket", bucket);
+        point.put("total", 0L);
+        point.put("byType", new TreeMap<String, Long>());
+        point.put("bySeverity", new TreeMap<String, Long>());
+        return point;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addTo(Map<String, Object> point, String key, String name, long count) {
+        ((Map<String, Long>) point.get(key)).merge(name, count, Long::sum);
+    }
+
+    private Double meanHours(long seconds, long count) {
+        return count == 0 ? null : Math.round(seconds / 36.0 / count) / 100.0;
+    }
+}
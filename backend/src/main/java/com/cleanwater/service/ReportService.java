@@ -4,6 +4,9 @@ import com.cleanwater.model.Report;
 import com.cleanwater.repository.ReportRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +17,12 @@ public class ReportService {
     @Autowired
     private ReportRepository reportRepository;
 
+    @Autowired
+    private ReportRollupService reportRollupService;
+
+    @Autowired
+    private HotspotDetector hotspotDetector;
+
     public List<Report> getAllReports() {
         return reportRepository.findAll();
     }
@@ -38,18 +47,32 @@ public class ReportService {
         return reportRepository.findByType(type);
     }
 
+    @Transactional
     public Report createReport(Report report) {
         // Status is automatically set to "Pending Review" by default
         if (report.getStatus() == null || report.getStatus().isEmpty()) {
             report.setStatus("Pending Review");
         }
-        return reportRepository.save(report);
+        Report savedReport = reportRepository.save(report);
+        reportRollupService.recordCreated(savedReport);
+        // Rolled-back reports must not count towards hotspots
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hotspotDetector.record(savedReport);
+            }
+        });
+        return savedReport;
     }
 
+    @Transactional
     public Report updateReport(Long id, Report reportDetails) {
-        Report report = reportRepository.findById(id)
+        Report report = reportRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Report not found with id: " + id));
 
+        String previousType = report.getType();
+        String previousSeverity = report.getSeverity();
+        String previousStatus = report.getStatus();
         report.setTitle(reportDetails.getTitle());
         report.setDetails(reportDetails.getDetails());
         report.setType(reportDetails.getType());
@@ -58,22 +81,32 @@ public class ReportService {
         report.setLocation(reportDetails.getLocation());
         report.setTags(reportDetails.getTags());
 
-        return reportRepository.save(report);
+        Report savedReport = reportRepository.save(report);
+        reportRollupService.recordUpdated(savedReport, previousType, previousSeverity, previousStatus);
+        return savedReport;
     }
 
+    @Transactional
     public Report updateReportStatus(Long id, String status, String severity) {
-        Report report = reportRepository.findById(id)
+        Report report = reportRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Report not found with id: " + id));
 
+        String previousType = report.getType();
+        String previousSeverity = report.getSeverity();
+        String previousStatus = report.getStatus();
         report.setStatus(status);
         report.setSeverity(severity);
 
-        return reportRepository.save(report);
+        Report savedReport = reportRepository.save(report);
+        reportRollupService.recordUpdated(savedReport, previousType, previousSeverity, previousStatus);
+        return savedReport;
     }
 
+    @Transactional
     public void deleteReport(Long id) {
-        Report report = reportRepository.findById(id)
+        Report report = reportRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Report not found with id: " + id));
+        reportRollupService.recordDeleted(report);
         reportRepository.delete(report);
     }
 }
@@ -0,0 +1,90 @@
+package com.cleanwater.config;
+
+import com.cleanwater.service.AdmissionControlService;
+import com.cleanwater.service.AdmissionControlService.RequestClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdmissionControlFilterTest {
+
+    private final AdmissionControlService service = mock(AdmissionControlService.class);
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(service, true);
+
+    @Test
+    void classifiesByMethodAndPath() {
+        assertEquals(RequestClass.EXPENSIVE, filter.classify(request("GET", "/api/reports")));
+        assertEquals(RequestClass.EXPENSIVE, filter.classify(request("GET", "/api/reports/stats")));
+        assertEquals(RequestClass.EXPENSIVE, filter.classify(request("GET", "/api/reports/status/Resolved")));
+        assertEquals(RequestClass.EXPENSIVE, filter.classify(request("GET", "/api/reports/reporter/Jane")));
+        assertEquals(RequestClass.EXPENSIVE, filter.classify(request("GET", "/api/users")));
+        assertEquals(RequestClass.CHEAP, filter.classify(request("GET", "/api/reports/42")));
+        assertEquals(RequestClass.CHEAP, filter.classify(request("GET", "/api/reports/trends")));
+        assertEquals(RequestClass.CHEAP, filter.classify(request("GET", "/api/hotspots/active")));
+        assertEquals(RequestClass.WRITE, filter.classify(request("POST", "/api/reports")));
+        assertEquals(RequestClass.WRITE, filter.classify(request("PUT", "/api/reports/42/status")));
+        assertEquals(RequestClass.WRITE, filter.classify(request("DELETE", "/api/users/7")));
+    }
+
+    @Test
+    void rateLimitedRequestGets429WithRetryAfterRoundedUp() throws Exception {
+        when(service.tryAcquireToken(RequestClass.EXPENSIVE, "10.0.0.1")).thenReturn(1500L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("GET", "/api/reports"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals("application/json", response.getContentType());
+        assertNull(chain.getRequest());
+        verify(service, never()).tryEnter(any());
+    }
+
+    @Test
+    void overloadedRequestGets503WithRetryAfter() throws Exception {
+        when(service.tryEnter(RequestClass.EXPENSIVE)).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("GET", "/api/reports"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        verify(service, never()).exit(any());
+    }
+
+    @Test
+    void admittedRequestProceedsAndReleasesItsSlot() throws Exception {
+        when(service.tryEnter(RequestClass.CHEAP)).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("GET", "/api/reports/42"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Retry-After"));
+        assertNotNull(chain.getRequest());
+        verify(service).exit(RequestClass.CHEAP);
+    }
+
+    @Test
+    void preflightAndMetricsRequestsBypassAdmission() throws Exception {
+        filter.doFilter(request("OPTIONS", "/api/reports"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("GET", "/api/admission/metrics"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(service);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
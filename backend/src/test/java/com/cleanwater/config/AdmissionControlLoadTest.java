@@ -0,0 +1,128 @@
+package com.cleanwater.config;
+
+import com.cleanwater.service.AdmissionControlService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a scraper hammering GET /api/reports from one address alongside a few
+ * well-behaved clients, against a simulated database pool, and compares the
+ * well-behaved clients' p99 latency with and without admission control.
+ * Well-behaved clients start after the scraper has spent its initial burst.
+ * Timing dependent, so excluded from the default build; run with
+ * mvn test -Pload-tests
+ */
+@Tag("load")
+class AdmissionControlLoadTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final long QUERY_MILLIS = 20;
+    private static final int SCRAPER_THREADS = 16;
+    private static final long SCRAPER_ROUND_TRIP_MILLIS = 1;
+    private static final int GOOD_CLIENTS = 4;
+    private static final long GOOD_CLIENT_INTERVAL_MILLIS = 100;
+    private static final long WARMUP_MILLIS = 500;
+    private static final long RUN_MILLIS = 2500;
+
+    @Test
+    void admissionControlProtectsWellBehavedClientLatency() throws Exception {
+        LoadResult unprotected = run(false);
+        LoadResult protectedRun = run(true);
+
+        assertEquals(0, protectedRun.goodRejected);
+        assertTrue(protectedRun.scraperRejected > 0);
+        assertTrue(protectedRun.goodP99Millis * 2 < unprotected.goodP99Millis,
+                "protected p99 " + protectedRun.goodP99Millis + " ms vs unprotected " + unprotected.goodP99Millis + " ms");
+    }
+
+    private LoadResult run(boolean admissionControl) throws Exception {
+        Semaphore pool = new Semaphore(POOL_SIZE, true);
+        Filter filter = admissionControl ? new AdmissionControlFilter(new AdmissionControlService(new AdmissionProperties(), null), true) : null;
+        LoadResult result = new LoadResult();
+        List<Long> goodLatencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger goodRejected = new AtomicInteger();
+        AtomicInteger scraperRejected = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(SCRAPER_THREADS + GOOD_CLIENTS);
+        for (int i = 0; i < SCRAPER_THREADS; i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (call(filter, pool, "10.0.0.99") != 200) {
+                        scraperRejected.incrementAndGet();
+                    }
+                    // Rejections are instant; without a round trip the scraper threads would just burn CPU
+                    Thread.sleep(SCRAPER_ROUND_TRIP_MILLIS);
+                }
+                return null;
+            });
+        }
+        for (int i = 0; i < GOOD_CLIENTS; i++) {
+            String address = "10.0.1." + i;
+            executor.submit(() -> {
+                Thread.sleep(WARMUP_MILLIS);
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    if (call(filter, pool, address) != 200) {
+                        goodRejected.incrementAndGet();
+                    }
+                    goodLatencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    Thread.sleep(GOOD_CLIENT_INTERVAL_MILLIS);
+                }
+                return null;
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(RUN_MILLIS * 5, TimeUnit.MILLISECONDS));
+
+        List<Long> sorted = new ArrayList<>(goodLatencies);
+        Collections.sort(sorted);
+        result.goodP99Millis = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+        result.goodRejected = goodRejected.get();
+        result.scraperRejected = scraperRejected.get();
+        return result;
+    }
+
+    private int call(Filter filter, Semaphore pool, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports");
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain database = (req, res) -> {
+            pool.acquireUninterruptibly();
+            try {
+                Thread.sleep(QUERY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pool.release();
+            }
+        };
+        if (filter != null) {
+            filter.doFilter(request, response, database);
+        } else {
+            database.doFilter(request, response);
+        }
+        return response.getStatus();
+    }
+
+    private static class LoadResult {
+        long goodP99Millis;
+        int goodRejected;
+        int scraperRejected;
+    }
+}
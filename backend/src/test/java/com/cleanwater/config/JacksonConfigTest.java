@@ -0,0 +1,55 @@
+package com.cleanwater.config;
+
+import com.cleanwater.model.Report;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonConfigTest {
+
+    @Test
+    void cborMapperWritesStringReferencesAndRoundTrips() throws Exception {
+        ObjectMapper cbor = JacksonConfig.cborMapper(new Jackson2ObjectMapperBuilder().modules(new BlackbirdModule()));
+        ObjectMapper json = new Jackson2ObjectMapperBuilder().modules(new BlackbirdModule()).build();
+        List<Report> reports = reports(200);
+
+        byte[] cborBytes = cbor.writeValueAsBytes(reports);
+        byte[] jsonBytes = json.writeValueAsBytes(reports);
+
+        // Tag 256 (stringref-namespace) wraps the whole payload
+        assertEquals((byte) 0xd9, cborBytes[0]);
+        assertEquals((byte) 0x01, cborBytes[1]);
+        assertEquals((byte) 0x00, cborBytes[2]);
+        assertTrue(cborBytes.length * 2 < jsonBytes.length,
+                "CBOR " + cborBytes.length + " bytes vs JSON " + jsonBytes.length + " bytes");
+        assertEquals(reports, cbor.readValue(cborBytes, new TypeReference<List<Report>>() {}));
+    }
+
+    private static List<Report> reports(int count) {
+        String[] statuses = {"Pending Review", "In Progress", "Resolved"};
+        String[] types = {"Quality", "Infrastructure", "Supply", "Drought", "Safety"};
+        List<Report> reports = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Report report = new Report();
+            report.setId((long) i);
+            report.setTitle("Report " + i);
+            report.setDetails("Water main burst near sector " + (i % 7));
+            report.setType(types[i % types.length]);
+            report.setSeverity(i % 2 == 0 ? "High" : "Medium");
+            report.setStatus(statuses[i % statuses.length]);
+            report.setLocation("Sector " + (i % 7));
+            report.setReporter("Citizen " + (i % 10));
+            report.setDateReported("2025-11-0" + (1 + i % 9));
+            report.setLastUpdated("2025-11-0" + (1 + i % 9));
+            reports.add(report);
+        }
+        return reports;
+    }
+}
@@ -0,0 +1,128 @@
+package com.cleanwater.config;
+
+import com.cleanwater.model.Report;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialisation CPU and bytes on the wire for a list of 10,000 reports, as
+ * JSON, plain CBOR and CBOR with string references, with and without gzip.
+ * Payload sizes are printed once per format before measurement.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.cleanwater.config.ReportSerializationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportSerializationBenchmark {
+
+    private static final String[] TYPES = {"Quality", "Infrastructure", "Supply", "Drought", "Safety"};
+    private static final String[] SEVERITIES = {"Critical", "High", "Medium", "Low"};
+    private static final String[] STATUSES = {"Pending Review", "In Progress", "Resolved"};
+    private static final String[] TAGS = {"Water Leak", "Road Hazard", "Contamination", "Health Risk",
+            "Unsafe Drinking Water", "Infrastructure Failure"};
+    private static final String[] WORDS = {"water", "pipe", "main", "burst", "flooding", "pressure", "low",
+            "smell", "chemical", "residents", "reported", "street", "district", "supply", "interrupted",
+            "reservoir", "levels", "tap", "brown", "discoloured", "since", "morning", "near", "school"};
+
+    @Param({"json", "cbor", "cbor-stringref"})
+    public String format;
+
+    private ObjectWriter writer;
+    private List<Report> reports;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder().modules(new BlackbirdModule());
+        ObjectMapper mapper = switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> JacksonConfig.cborMapper(builder);
+        };
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Report.class));
+        reports = reports(10_000);
+
+        byte[] raw = serialize();
+        System.out.printf("%n%s: %,d bytes raw, %,d bytes gzip%n", format, raw.length, gzip(raw).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(reports);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        return gzip(writer.writeValueAsBytes(reports));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Report> reports(int count) {
+        Random random = new Random(42);
+        List<Report> reports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Report report = new Report();
+            report.setId((long) i + 1);
+            report.setTitle(sentence(random, 4) + " " + i);
+            report.setDetails(sentence(random, 15 + random.nextInt(30)));
+            report.setType(TYPES[random.nextInt(TYPES.length)]);
+            report.setSeverity(SEVERITIES[random.nextInt(SEVERITIES.length)]);
+            report.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            report.setLocation(random.nextInt(500) + " Main St, Sector " + random.nextInt(20));
+            if (random.nextBoolean()) {
+                report.setLatitude(12.9 + random.nextDouble());
+                report.setLongitude(77.5 + random.nextDouble());
+            }
+            report.setReporter("Citizen " + random.nextInt(2000));
+            report.setDateReported("2025-11-" + String.format("%02d", 1 + random.nextInt(28)));
+            report.setLastUpdated(report.getDateReported());
+            report.setTags(TAGS[random.nextInt(TAGS.length)] + "," + TAGS[random.nextInt(TAGS.length)]);
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReportSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.cleanwater.controller;
+
+import com.cleanwater.config.JacksonConfig;
+import com.cleanwater.model.Report;
+import com.cleanwater.service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReportController.class)
+@Import(JacksonConfig.class)
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        Report report = new Report();
+        report.setId(1L);
+        report.setTitle("Pipe Burst near High School");
+        report.setType("Infrastructure");
+        report.setSeverity("Critical");
+        report.setStatus("Pending Review");
+        when(reportService.getAllReports()).thenReturn(List.of(report));
+    }
+
+    @Test
+    void jsonRemainsTheDefaultFormat() throws Exception {
+        mockMvc.perform(get("/api/reports").header("Accept", "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$[0].status").value("Pending Review"));
+    }
+
+    @Test
+    void cborIsServedWhenRequested() throws Exception {
+        mockMvc.perform(get("/api/reports").header("Accept", "application/cbor, application/json;q=0.9"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"));
+    }
+}
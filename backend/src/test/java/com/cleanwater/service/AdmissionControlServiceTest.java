@@ -0,0 +1,121 @@
+package com.cleanwater.service;
+
+import com.cleanwater.config.AdmissionProperties;
+import com.cleanwater.service.AdmissionControlService.RequestClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlServiceTest {
+
+    private AdmissionProperties properties;
+    private long now;
+    private int waitingThreads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setReadRatePerSecond(10);
+        properties.setReadBurst(3);
+        properties.setWriteRatePerSecond(1);
+        properties.setWriteBurst(2);
+        properties.setExpensiveMaxConcurrency(8);
+        properties.setCheapMaxConcurrency(2);
+        properties.setPoolWaitingThreadsThreshold(2);
+        now = TimeUnit.SECONDS.toNanos(1000);
+    }
+
+    @Test
+    void burstIsAdmittedThenRetryAfterIsOneInterval() {
+        AdmissionControlService service = newService();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.1"));
+        }
+        assertEquals(100, service.tryAcquireToken(RequestClass.EXPENSIVE, "10.0.0.1"));
+
+        now += TimeUnit.MILLISECONDS.toNanos(40);
+        assertEquals(60, service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.1"));
+
+        now += TimeUnit.MILLISECONDS.toNanos(60);
+        assertEquals(0, service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.1"));
+        assertEquals(100, service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.1"));
+    }
+
+    @Test
+    void clientsAndWritesHaveSeparateBuckets() {
+        AdmissionControlService service = newService();
+        for (int i = 0; i < 3; i++) {
+            service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.1");
+        }
+        assertEquals(0, service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.2"));
+        assertEquals(0, service.tryAcquireToken(RequestClass.WRITE, "10.0.0.1"));
+        assertEquals(0, service.tryAcquireToken(RequestClass.WRITE, "10.0.0.1"));
+        assertEquals(1000, service.tryAcquireToken(RequestClass.WRITE, "10.0.0.1"));
+    }
+
+    @Test
+    void newClientsAreRejectedWhileTableIsFullOfLimitedClients() {
+        properties.setMaxClients(1);
+        AdmissionControlService service = newService();
+        service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.1");
+
+        assertEquals(1000, service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.2"));
+
+        // Once the first client's bucket has refilled it can be evicted to make room
+        now += TimeUnit.SECONDS.toNanos(2);
+        assertEquals(0, service.tryAcquireToken(RequestClass.CHEAP, "10.0.0.2"));
+    }
+
+    @Test
+    void expensiveLimitHalvesWhilePoolIsQueuedAndRecoversByOne() {
+        AdmissionControlService service = newService();
+        waitingThreads = 3;
+        service.adjustExpensiveLimit();
+        assertEquals(4, expensiveLimit(service));
+        service.adjustExpensiveLimit();
+        service.adjustExpensiveLimit();
+        service.adjustExpensiveLimit();
+        assertEquals(1, expensiveLimit(service));
+
+        // At the threshold the limit is no longer halved
+        waitingThreads = 2;
+        service.adjustExpensiveLimit();
+        assertEquals(2, expensiveLimit(service));
+        for (int i = 0; i < 10; i++) {
+            service.adjustExpensiveLimit();
+        }
+        assertEquals(8, expensiveLimit(service));
+    }
+
+    @Test
+    void concurrencyLimitRejectsUntilARequestExits() {
+        AdmissionControlService service = newService();
+        waitingThreads = 3;
+        for (int i = 0; i < 3; i++) {
+            service.adjustExpensiveLimit();
+        }
+        assertTrue(service.tryEnter(RequestClass.EXPENSIVE));
+        assertFalse(service.tryEnter(RequestClass.EXPENSIVE));
+        assertTrue(service.tryEnter(RequestClass.CHEAP));
+        assertTrue(service.tryEnter(RequestClass.CHEAP));
+        assertFalse(service.tryEnter(RequestClass.CHEAP));
+
+        service.exit(RequestClass.EXPENSIVE);
+        assertTrue(service.tryEnter(RequestClass.EXPENSIVE));
+    }
+
+    private AdmissionControlService newService() {
+        AdmissionControlService service = new AdmissionControlService(properties, null, () -> now);
+        service.threadsAwaitingConnection = () -> waitingThreads;
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int expensiveLimit(AdmissionControlService service) {
+        return (int) ((Map<String, Object>) service.getMetrics().get("expensive")).get("concurrencyLimit");
+    }
+}
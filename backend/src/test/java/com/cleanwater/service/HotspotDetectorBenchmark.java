@@ -0,0 +1,62 @@
+package com.cleanwater.service;
+
+import com.cleanwater.config.HotspotProperties;
+import com.cleanwater.model.Report;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded throughput of {@link HotspotDetector#record} over a mix of
+ * tracked and untracked report types spread across 2,000 geo cells.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.cleanwater.service.HotspotDetectorBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class HotspotDetectorBenchmark {
+
+    private static final String[] TYPES = {"Quality", "Safety", "Infrastructure", "Supply", "Drought"};
+
+    private HotspotDetector detector;
+    private Report[] reports;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        detector = new HotspotDetector(new HotspotProperties());
+
+        Random random = new Random(42);
+        reports = new Report[1 << 16];
+        for (int i = 0; i < reports.length; i++) {
+            Report report = new Report();
+            report.setType(TYPES[random.nextInt(TYPES.length)]);
+            report.setLatitude(12.9 + random.nextInt(40) * 0.01);
+            report.setLongitude(77.5 + random.nextInt(50) * 0.01);
+            report.setLocation("Sector " + random.nextInt(100));
+            reports[i] = report;
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        detector.record(reports[next++ & (reports.length - 1)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HotspotDetectorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,204 @@
+package com.cleanwater.service;
+
+import com.cleanwater.config.HotspotProperties;
+import com.cleanwater.dto.HotspotEvent;
+import com.cleanwater.model.Report;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotspotDetectorTest {
+
+    private static final long SLOT_MILLIS = 300_000;
+
+    private HotspotDetector detector;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        now = 1_000 * SLOT_MILLIS;
+        detector = newDetector(24, 10000);
+    }
+
+    @Test
+    void advanceWithinWindowKeepsRecentSlots() {
+        HotspotDetector.CellWindow cell = new HotspotDetector.CellWindow(4, 0);
+        cell.slots[0] = 2;
+        cell.windowSum = 2;
+
+        cell.advance(3, 0.5);
+        assertEquals(2, cell.windowSum);
+
+        cell.advance(4, 0.5);
+        assertEquals(0, cell.windowSum);
+        assertEquals(0, cell.slots[0]);
+    }
+
+    @Test
+    void advancePastWholeRingClearsEverySlot() {
+        HotspotDetector.CellWindow cell = new HotspotDetector.CellWindow(4, 10);
+        for (int i = 0; i < 4; i++) {
+            cell.slots[i] = i + 1;
+        }
+        cell.windowSum = 10;
+
+        cell.advance(100, 0.5);
+
+        assertEquals(0, cell.windowSum);
+        assertArrayEquals(new int[4], cell.slots);
+        assertEquals(100, cell.currentSlot);
+    }
+
+    @Test
+    void advanceFeedsClosedSlotIntoBaselineAndDecaysEmptySlots() {
+        HotspotDetector.CellWindow cell = new HotspotDetector.CellWindow(4, 0);
+        cell.slots[0] = 10;
+        cell.windowSum = 10;
+
+        cell.advance(1, 0.5);
+        assertEquals(5.0, cell.baseline, 1e-9);
+
+        // Slot 1 closes empty, slot 2 elapses empty
+        cell.advance(3, 0.5);
+        assertEquals(1.25, cell.baseline, 1e-9);
+    }
+
+    @Test
+    void advanceToSameOrEarlierSlotDoesNothing() {
+        HotspotDetector.CellWindow cell = new HotspotDetector.CellWindow(4, 5);
+        cell.slots[1] = 3;
+        cell.windowSum = 3;
+
+        cell.advance(5, 0.5);
+        cell.advance(2, 0.5);
+
+        assertEquals(3, cell.windowSum);
+        assertEquals(0.0, cell.baseline);
+        assertEquals(5, cell.currentSlot);
+    }
+
+    @Test
+    void burstBecomesHotOnceMinCountIsReached() {
+        for (int i = 0; i < 4; i++) {
+            detector.record(report("Quality", 12.3456, 76.5432));
+        }
+        assertTrue(detector.getRecentEvents(null).isEmpty());
+
+        detector.record(report("Quality", 12.3456, 76.5432));
+        detector.record(report("Quality", 12.3451, 76.5439));
+
+        List<HotspotEvent> events = detector.getRecentEvents(null);
+        assertEquals(1, events.size());
+        assertEquals("Quality", events.get(0).getType());
+        assertEquals(5, events.get(0).getWindowCount());
+        assertEquals(1, detector.getActiveHotspots().size());
+    }
+
+    @Test
+    void untrackedTypesAndOtherCellsAreCountedSeparately() {
+        for (int i = 0; i < 5; i++) {
+            detector.record(report("Infrastructure", 12.3456, 76.5432));
+            detector.record(report(i % 2 == 0 ? "Quality" : "Safety", 12.3456, 76.5432));
+        }
+        assertTrue(detector.getRecentEvents(null).isEmpty());
+    }
+
+    @Test
+    void steadyRateStopsBeingHotOnceBaselineCatchesUp() {
+        detector = newDetector(0.25, 10000);
+        for (int slot = 0; slot < 48; slot++) {
+            for (int i = 0; i < 5; i++) {
+                detector.record(report("Safety", 12.3456, 76.5432));
+            }
+            now += SLOT_MILLIS;
+        }
+        assertTrue(detector.getActiveHotspots().isEmpty());
+    }
+
+    @Test
+    void cellCoolsDownAndCanBecomeHotAgain() {
+        for (int i = 0; i < 5; i++) {
+            detector.record(report("Quality", 12.3456, 76.5432));
+        }
+        now += 24 * SLOT_MILLIS;
+        assertTrue(detector.getActiveHotspots().isEmpty());
+
+        for (int i = 0; i < 5; i++) {
+            detector.record(report("Quality", 12.3456, 76.5432));
+        }
+        assertEquals(2, detector.getRecentEvents("Quality").size());
+    }
+
+    @Test
+    void evictionRemovesOnlyIdleCells() {
+        detector.record(report("Quality", 12.3456, 76.5432));
+        now += 30L * 24 * 12 * SLOT_MILLIS;
+        detector.record(report("Quality", 40.0, 70.0));
+
+        detector.evictIdleCells();
+
+        assertEquals(Set.of("Quality|4000:7000"), cells().keySet());
+    }
+
+    @Test
+    void newCellsAreDroppedWhenTableIsFullOfActiveCells() {
+        detector = newDetector(24, 2);
+        detector.record(report("Quality", 10.0, 10.0));
+        detector.record(report("Quality", 20.0, 20.0));
+        detector.record(report("Quality", 30.0, 30.0));
+
+        assertEquals(2, cells().size());
+        assertFalse(cells().containsKey("Quality|3000:3000"));
+    }
+
+    @Test
+    void listingActiveHotspotsLeavesTransitionToRecord() {
+        detector = newDetector(0.25, 10000);
+        // Six reports in the previous slot against a baseline of one per slot: not hot yet
+        HotspotDetector.CellWindow cell = new HotspotDetector.CellWindow(12, 1000);
+        cell.cellId = "1234:7654";
+        cell.type = "Quality";
+        cell.slots[999 % 12] = 6;
+        cell.windowSum = 6;
+        cell.baseline = 1.0;
+        cells().put("Quality|1234:7654", cell);
+
+        // The baseline decays while the reports are still in the window
+        now += 8 * SLOT_MILLIS;
+        assertEquals(1, detector.getActiveHotspots().size());
+        assertTrue(detector.getRecentEvents(null).isEmpty());
+
+        detector.record(report("Quality", 12.3456, 76.5432));
+        List<HotspotEvent> events = detector.getRecentEvents(null);
+        assertEquals(1, events.size());
+        assertEquals(7, events.get(0).getWindowCount());
+    }
+
+    private HotspotDetector newDetector(double halfLifeHours, int maxCells) {
+        HotspotProperties properties = new HotspotProperties();
+        properties.setSlotSeconds(SLOT_MILLIS / 1000);
+        properties.setBaselineHalfLifeHours(halfLifeHours);
+        properties.setMaxCells(maxCells);
+        HotspotDetector hotspotDetector = new HotspotDetector(properties);
+        hotspotDetector.clock = () -> now;
+        return hotspotDetector;
+    }
+
+    private Map<String, HotspotDetector.CellWindow> cells() {
+        return detector.cells;
+    }
+
+    private static Report report(String type, double latitude, double longitude) {
+        Report report = new Report();
+        report.setType(type);
+        report.setLatitude(latitude);
+        report.setLongitude(longitude);
+        report.setLocation("Test Location");
+        return report;
+    }
+}
@@ -0,0 +1,270 @@
+package com.cleanwater.service;
+
+import com.cleanwater.model.Report;
+import com.cleanwater.model.ReportRollup;
+import com.cleanwater.model.ReportStatusTransition;
+import com.cleanwater.repository.ReportRepository;
+import com.cleanwater.repository.ReportRollupRepository;
+import com.cleanwater.repository.ReportStatusTransitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.cleanwater.service.ReportRollupService.DAY;
+import static com.cleanwater.service.ReportRollupService.HOUR;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportRollupServiceTest {
+
+    @Mock
+    private ReportRollupRepository rollupRepository;
+
+    @Mock
+    private ReportStatusTransitionRepository transitionRepository;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @InjectMocks
+    private ReportRollupService service;
+
+    private final List<ReportStatusTransition> history = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // The transition repository behaves like a table of the saved transitions
+        lenient().when(transitionRepository.save(any())).thenAnswer(invocation -> {
+            ReportStatusTransition transition = invocation.getArgument(0);
+            transition.setId((long) history.size() + 1);
+            history.add(transition);
+            return transition;
+        });
+        lenient().when(transitionRepository.findByReportIdOrderByIdAsc(anyLong()))
+                .thenAnswer(invocation -> new ArrayList<>(history));
+    }
+
+    @Test
+    void rollupsFollowReportThroughItsLifecycle() {
+        Report report = report("Quality", "High", "Pending Review");
+
+        at("2025-11-03T09:15:30");
+        service.recordCreated(report);
+        verify(rollupRepository).upsert(DAY, "2025-11-03", "Quality", "High", 1, 0, 0);
+        verify(rollupRepository).upsert(HOUR, "2025-11-03T09", "Quality", "High", 1, 0, 0);
+        verifyNoMoreInteractions(rollupRepository);
+        assertTransition(0, null, "Pending Review", "2025-11-03T09:15:30");
+
+        at("2025-11-03T10:00:00");
+        clearInvocations(rollupRepository);
+        report.setType("Infrastructure");
+        service.recordUpdated(report, "Quality", "High", "Pending Review");
+        verify(rollupRepository).adjust(DAY, "2025-11-03", "Quality", "High", -1, 0, 0);
+        verify(rollupRepository).adjust(HOUR, "2025-11-03T09", "Quality", "High", -1, 0, 0);
+        verify(rollupRepository).upsert(DAY, "2025-11-03", "Infrastructure", "High", 1, 0, 0);
+        verify(rollupRepository).upsert(HOUR, "2025-11-03T09", "Infrastructure", "High", 1, 0, 0);
+        verifyNoMoreInteractions(rollupRepository);
+        assertEquals(1, history.size());
+
+        // Resolved 26 hours after creation
+        at("2025-11-04T11:15:30");
+        clearInvocations(rollupRepository);
+        report.setStatus("Resolved");
+        service.recordUpdated(report, "Infrastructure", "High", "Pending Review");
+        verify(rollupRepository).upsert(DAY, "2025-11-04", "Infrastructure", "High", 0, 1, 93600);
+        verify(rollupRepository).upsert(HOUR, "2025-11-04T11", "Infrastructure", "High", 0, 1, 93600);
+        verifyNoMoreInteractions(rollupRepository);
+        assertTransition(1, "Pending Review", "Resolved", "2025-11-04T11:15:30");
+
+        // Reopening and resolving again records history but never books a second resolution
+        at("2025-11-05T08:00:00");
+        clearInvocations(rollupRepository);
+        report.setStatus("In Progress");
+        service.recordUpdated(report, "Infrastructure", "High", "Resolved");
+        at("2025-11-06T08:00:00");
+        report.setStatus("Resolved");
+        service.recordUpdated(report, "Infrastructure", "High", "In Progress");
+        verifyNoInteractions(rollupRepository);
+        assertTransition(3, "In Progress", "Resolved", "2025-11-06T08:00");
+
+        clearInvocations(rollupRepository);
+        service.recordDeleted(report);
+        verify(rollupRepository).adjust(DAY, "2025-11-03", "Infrastructure", "High", -1, 0, 0);
+        verify(rollupRepository).adjust(HOUR, "2025-11-03T09", "Infrastructure", "High", -1, 0, 0);
+        verify(rollupRepository).adjust(DAY, "2025-11-04", "Infrastructure", "High", 0, -1, -93600);
+        verify(rollupRepository).adjust(HOUR, "2025-11-04T11", "Infrastructure", "High", 0, -1, -93600);
+        verifyNoMoreInteractions(rollupRepository);
+        verify(transitionRepository).deleteByReportId(report.getId());
+    }
+
+    @Test
+    void legacyReportIsMeasuredFromStartOfReportDay() {
+        Report report = report("Safety", "Critical", "In Progress");
+        legacyTransition("Pending Review", "In Progress", "2025-11-04T00:00:00");
+
+        // 30 hours after the start of the report day, not 6 hours after the first status change
+        at("2025-11-04T06:00:00");
+        report.setStatus("Resolved");
+        service.recordUpdated(report, "Safety", "Critical", "In Progress");
+        verify(rollupRepository).upsert(DAY, "2025-11-04", "Safety", "Critical", 0, 1, 108000);
+        verify(rollupRepository).upsert(HOUR, "2025-11-04T06", "Safety", "Critical", 0, 1, 108000);
+        verifyNoMoreInteractions(rollupRepository);
+
+        // Without a creation entry the hourly report bucket is unknown and left alone
+        clearInvocations(rollupRepository);
+        service.recordDeleted(report);
+        verify(rollupRepository).adjust(DAY, "2025-11-03", "Safety", "Critical", -1, 0, 0);
+        verify(rollupRepository).adjust(DAY, "2025-11-04", "Safety", "Critical", 0, -1, -108000);
+        verify(rollupRepository).adjust(HOUR, "2025-11-04T06", "Safety", "Critical", 0, -1, -108000);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void reportCreatedAsResolvedIsNotCountedAsResolution() {
+        Report report = report("Supply", "Low", "Resolved");
+
+        at("2025-11-03T09:00:00");
+        service.recordCreated(report);
+        clearInvocations(rollupRepository);
+        service.recordDeleted(report);
+        verify(rollupRepository).adjust(DAY, "2025-11-03", "Supply", "Low", -1, 0, 0);
+        verify(rollupRepository).adjust(HOUR, "2025-11-03T09", "Supply", "Low", -1, 0, 0);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void hourlyRangeEndingOnDateCoversWholeDay() {
+        service.getReportTrend(HOUR, "2025-11-01", "2025-11-02", null, null);
+        verify(rollupRepository).sumReportsByType(HOUR, "2025-11-01", "2025-11-02T23", null, null);
+        verify(rollupRepository).sumReportsBySeverity(HOUR, "2025-11-01", "2025-11-02T23", null, null);
+
+        service.getResolutionTrend(HOUR, "2025-11-01T06", "2025-11-01T18", "Quality");
+        verify(rollupRepository).sumResolutions(HOUR, "2025-11-01T06", "2025-11-01T18", "Quality");
+
+        service.getResolutionTrend(DAY, "2025-11-01", "2025-11-30", null);
+        verify(rollupRepository).sumResolutions(DAY, "2025-11-01", "2025-11-30", null);
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getReportTrend("week", "2025-11-01", "2025-11-02", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getReportTrend(DAY, "2025-11-01T06", "2025-11-02", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getReportTrend(DAY, "2025-13-01", "2025-11-02", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getReportTrend(HOUR, "2025-11-01T24", "2025-11-02", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getReportTrend(DAY, "2025-11-02", "2025-11-01", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getReportTrend(HOUR, "2025-11-01T12", "2025-11-01T11", null, null));
+        IllegalArgumentException tooLong = assertThrows(IllegalArgumentException.class,
+                () -> service.getResolutionTrend(HOUR, "2025-11-01", "2025-12-02", null));
+        assertEquals("Hourly ranges are limited to 31 days", tooLong.getMessage());
+        verifyNoInteractions(rollupRepository);
+
+        // Exactly the limit is still accepted
+        service.getResolutionTrend(HOUR, "2025-11-01", "2025-12-01", null);
+        verify(rollupRepository).sumResolutions(HOUR, "2025-11-01", "2025-12-01T23", null);
+    }
+
+    @Test
+    void reportTrendMergesTypeAndSeverityGroups() {
+        when(rollupRepository.sumReportsByType(DAY, "2025-11-01", "2025-11-02", null, null)).thenReturn(List.of(
+                new Object[]{"2025-11-01", "Quality", 3L},
+                new Object[]{"2025-11-01", "Supply", 1L},
+                new Object[]{"2025-11-02", "Quality", 2L}));
+        when(rollupRepository.sumReportsBySeverity(DAY, "2025-11-01", "2025-11-02", null, null)).thenReturn(List.of(
+                new Object[]{"2025-11-01", "High", 4L},
+                new Object[]{"2025-11-02", "Low", 2L}));
+
+        List<Map<String, Object>> points = service.getReportTrend(DAY, "2025-11-01", "2025-11-02", null, null);
+
+        assertEquals(2, points.size());
+        assertEquals("2025-11-01", points.get(0).get("bucket"));
+        assertEquals(4L, points.get(0).get("total"));
+        assertEquals(Map.of("Quality", 3L, "Supply", 1L), points.get(0).get("byType"));
+        assertEquals(Map.of("High", 4L), points.get(0).get("bySeverity"));
+        assertEquals(2L, points.get(1).get("total"));
+    }
+
+    @Test
+    void backfillOnlyAddsDaysWithoutRollups() {
+        when(rollupRepository.findBuckets(DAY)).thenReturn(List.of("2025-11-01"));
+        when(reportRepository.countByDayTypeAndSeverity()).thenReturn(List.of(
+                new Object[]{"2025-11-01", "Quality", "High", 4L},
+                new Object[]{"2025-11-02", "Supply", "Low", 2L}));
+
+        service.backfillDailyRollups();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReportRollup>> saved = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        ReportRollup rollup = saved.getValue().get(0);
+        assertEquals(DAY, rollup.getGranularity());
+        assertEquals("2025-11-02", rollup.getBucket());
+        assertEquals("Supply", rollup.getType());
+        assertEquals("Low", rollup.getSeverity());
+        assertEquals(2L, rollup.getReportCount());
+        assertEquals(0L, rollup.getResolvedCount());
+    }
+
+    @Test
+    void backfillSkipsWhenEveryDayHasRollups() {
+        when(rollupRepository.findBuckets(DAY)).thenReturn(List.of("2025-11-01"));
+        when(reportRepository.countByDayTypeAndSeverity()).thenReturn(List.<Object[]>of(
+                new Object[]{"2025-11-01", "Quality", "High", 4L}));
+
+        service.backfillDailyRollups();
+
+        verify(rollupRepository, never()).saveAll(any());
+    }
+
+    private Report report(String type, String severity, String status) {
+        Report report = new Report();
+        report.setId(1L);
+        report.setType(type);
+        report.setSeverity(severity);
+        report.setStatus(status);
+        report.setDateReported("2025-11-03");
+        return report;
+    }
+
+    private void legacyTransition(String from, String to, String changedAt) {
+        ReportStatusTransition transition = new ReportStatusTransition();
+        transition.setId((long) history.size() + 1);
+        transition.setReportId(1L);
+        transition.setFromStatus(from);
+        transition.setToStatus(to);
+        transition.setChangedAt(changedAt);
+        history.add(transition);
+    }
+
+    private void at(String dateTime) {
+        service.clock = Clock.fixed(LocalDateTime.parse(dateTime).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+    }
+
+    private void assertTransition(int index, String from, String to, String changedAt) {
+        ReportStatusTransition transition = history.get(index);
+        assertEquals(from, transition.getFromStatus());
+        assertEquals(to, transition.getToStatus());
+        assertEquals(changedAt, transition.getChangedAt());
+    }
+}
@@ -1,6 +1,22 @@
 // API Configuration and Service Layer
+import { decodeCbor } from './cbor';
+
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
 
+// Report lists are requested as CBOR, which is smaller and cheaper to produce
+// than JSON; the backend falls back to JSON if CBOR is unavailable.
+const REPORT_LIST_HEADERS = {
+  Accept: 'application/cbor, application/json;q=0.9',
+};
+
+async function parseResponse(response) {
+  const contentType = response.headers.get('Content-Type') || '';
+  if (contentType.includes('application/cbor')) {
+    return decodeCbor(await response.arrayBuffer());
+  }
+  return response.json();
+}
+
 // API Service Class
 class ApiService {
   // User Authentication
@@ -54,13 +70,15 @@ class ApiService {
   // Get all reports
   static async getAllReports() {
     try {
-      const response = await fetch(`${API_BASE_URL}/reports`);
+      const response = await fetch(`${API_BASE_URL}/reports`, {
+        headers: REPORT_LIST_HEADERS,
+      });
       
       if (!response.ok) {
         throw new Error('Failed to fetch reports');
       }
       
-      return response.json();
+      return parseResponse(response);
     } catch (error) {
       console.error('Get reports API error:', error);
       throw error;
@@ -70,13 +88,15 @@ class ApiService {
   // Get reports by reporter name
   static async getReportsByReporter(reporterName) {
     try {
-      const response = await fetch(`${API_BASE_URL}/reports/reporter/${encodeURIComponent(reporterName)}`);
+      const response = await fetch(`${API_BASE_URL}/reports/reporter/${encodeURIComponent(reporterName)}`, {
+        headers: REPORT_LIST_HEADERS,
+      });
       
       if (!response.ok) {
         throw new Error('Failed to fetch reports');
       }
       
-      return response.json();
+      return parseResponse(response);
     } catch (error) {
       console.error('Get reports by reporter API error:', error);
       throw error;
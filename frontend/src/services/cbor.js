@@ -0,0 +1,155 @@
+// Minimal CBOR (RFC 8949) decoder for API responses sent as application/cbor.
+// Supports everything Jackson's CBOR generator emits: integers, floats,
+// byte/text strings, arrays and maps (including indefinite-length), simple values
+// and string references (tags 256/25), which the backend uses so repeated field
+// names and values are sent once per response.
+
+const textDecoder = new TextDecoder();
+const BREAK = Symbol('break');
+
+const TAG_STRINGREF = 25;
+const TAG_STRINGREF_NAMESPACE = 256;
+const TAG_SELF_DESCRIBED = 55799;
+
+// Shortest string that is worth a reference at the given table index
+function minStringRefLength(index) {
+  if (index < 24) return 3;
+  if (index < 256) return 4;
+  if (index < 65536) return 5;
+  if (index < 4294967296) return 7;
+  return 11;
+}
+
+export function decodeCbor(buffer) {
+  const view = new DataView(buffer);
+  const bytes = new Uint8Array(buffer);
+  let offset = 0;
+  let stringRefs = null; // strings of the innermost stringref namespace
+
+  function readLength(info) {
+    if (info < 24) return info;
+    if (info === 24) return view.getUint8(offset++);
+    if (info === 25) { const v = view.getUint16(offset); offset += 2; return v; }
+    if (info === 26) { const v = view.getUint32(offset); offset += 4; return v; }
+    if (info === 27) {
+      const hi = view.getUint32(offset);
+      const lo = view.getUint32(offset + 4);
+      offset += 8;
+      return hi * 0x100000000 + lo;
+    }
+    if (info === 31) return -1; // indefinite length
+    throw new Error(`Invalid CBOR length encoding: ${info}`);
+  }
+
+  function readHalfFloat() {
+    const half = view.getUint16(offset);
+    offset += 2;
+    const exponent = (half >> 10) & 0x1f;
+    const fraction = half & 0x3ff;
+    const sign = half & 0x8000 ? -1 : 1;
+    if (exponent === 0) return sign * 2 ** -14 * (fraction / 1024);
+    if (exponent === 31) return fraction ? NaN : sign * Infinity;
+    return sign * 2 ** (exponent - 15) * (1 + fraction / 1024);
+  }
+
+  function readChunks(majorType, length) {
+    if (length >= 0) {
+      const chunk = bytes.subarray(offset, offset + length);
+      offset += length;
+      const value = majorType === 3 ? textDecoder.decode(chunk) : chunk.slice();
+      if (stringRefs && length >= minStringRefLength(stringRefs.length)) {
+        stringRefs.push(value);
+      }
+      return value;
+    }
+    // Chunks of indefinite-length strings never enter the stringref table
+    const parts = [];
+    const refs = stringRefs;
+    stringRefs = null;
+    for (let part = readItem(); part !== BREAK; part = readItem()) {
+      parts.push(part);
+    }
+    stringRefs = refs;
+    if (majorType === 3) return parts.join('');
+    const joined = new Uint8Array(parts.reduce((sum, p) => sum + p.length, 0));
+    let position = 0;
+    for (const part of parts) {
+      joined.set(part, position);
+      position += part.length;
+    }
+    return joined;
+  }
+
+  function readTagged(tag) {
+    if (tag === TAG_STRINGREF_NAMESPACE) {
+      const outer = stringRefs;
+      stringRefs = [];
+      try {
+        return readItem();
+      } finally {
+        stringRefs = outer;
+      }
+    }
+    if (tag === TAG_STRINGREF) {
+      const index = readItem();
+      if (!stringRefs || !Number.isInteger(index) || index >= stringRefs.length) {
+        throw new Error(`Invalid CBOR string reference: ${index}`);
+      }
+      return stringRefs[index];
+    }
+    if (tag === TAG_SELF_DESCRIBED) {
+      return readItem();
+    }
+    throw new Error(`Unsupported CBOR tag: ${tag}`);
+  }
+
+  function readItem() {
+    const initial = view.getUint8(offset++);
+    const majorType = initial >> 5;
+    const info = initial & 0x1f;
+
+    if (majorType === 7) {
+      switch (info) {
+        case 20: return false;
+        case 21: return true;
+        case 22: return null;
+        case 23: return undefined;
+        case 25: return readHalfFloat();
+        case 26: { const v = view.getFloat32(offset); offset += 4; return v; }
+        case 27: { const v = view.getFloat64(offset); offset += 8; return v; }
+        case 31: return BREAK;
+        default: return info < 24 ? info : view.getUint8(offset++);
+      }
+    }
+
+    const length = readLength(info);
+    switch (majorType) {
+      case 0: return length;
+      case 1: return -1 - length;
+      case 2:
+      case 3: return readChunks(majorType, length);
+      case 4: {
+        const array = [];
+        if (length >= 0) {
+          for (let i = 0; i < length; i++) array.push(readItem());
+        } else {
+          for (let item = readItem(); item !== BREAK; item = readItem()) array.push(item);
+        }
+        return array;
+      }
+      case 5: {
+        const map = {};
+        if (length >= 0) {
+          for (let i = 0; i < length; i++) map[readItem()] = readItem();
+        } else {
+          for (let key = readItem(); key !== BREAK; key = readItem()) map[key] = readItem();
+        }
+        return map;
+      }
+      case 6: return readTagged(length);
+      default: throw new Error(`Unsupported CBOR major type: ${majorType}`);
+    }
+  }
+
+  return readItem();
+}